@@ -0,0 +1,307 @@
+import javax.swing.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress harness that drives headless GameModels with simulated players.
+ * Every bot types its moves through appendToInputBuffer/submitInputBuffer, so
+ * the full move pipeline, including observer notifications and leaderboard
+ * recording, is exercised. A move is one typed word ending in a
+ * submitInputBuffer call. Throughput is measured on the wall clock; allocation
+ * per move and latency percentiles cover moves only. Optimal and typo bots plan
+ * each game with the shared distance oracle, random walkers do not plan at all.
+ * @invariant bots > 0 && dictionary != null && index != null
+ */
+public class BotLoadGenerator {
+    /** Playing style of a simulated player. */
+    public enum Strategy { OPTIMAL, RANDOM_WALK, TYPO }
+
+    private static final int MAX_WALK_MOVES = 50;
+    private static final int DRAIN_INTERVAL = 256;
+    private static final double TYPO_RATE = 0.15;
+
+    private final int bots;
+    private final Set<String> dictionary;
+    private final NeighborIndex index;
+    private final DistanceOracle oracle;
+    private final Leaderboard leaderboard = new Leaderboard(10);
+
+    /**
+     * Aggregated results of one run.
+     * @invariant moves >= accepted
+     */
+    public static class Report {
+        public long moves;
+        public long accepted;
+        public long wins;
+        public long games;
+        public long allocatedBytes = -1;
+        /** Time spent inside moves, summed over all bots. */
+        public long moveNanos;
+        public long elapsedNanos;
+        public int bots = 1;
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        /** Measured wall-clock move rate, game setup included. */
+        public double movesPerSecond() { return moves * 1e9 / Math.max(1, elapsedNanos); }
+        public double gamesPerSecond() { return games * 1e9 / Math.max(1, elapsedNanos); }
+        /** Extrapolated rate if every bot spent all its time moving; not a measurement. */
+        public double extrapolatedMovesPerSecond() { return moves * 1e9 * bots / Math.max(1, moveNanos); }
+        public double bytesPerMove() { return allocatedBytes < 0 ? -1 : (double) allocatedBytes / Math.max(1, moves); }
+        public long latencyPercentile(double p) { return latency.percentile(p); }
+
+        void merge(Report other) {
+            moves += other.moves;
+            accepted += other.accepted;
+            wins += other.wins;
+            games += other.games;
+            moveNanos += other.moveNanos;
+            if (other.allocatedBytes >= 0) allocatedBytes = Math.max(0, allocatedBytes) + other.allocatedBytes;
+            latency.merge(other.latency);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("moves=%d accepted=%d rejected=%d games=%d wins=%d%n"
+                            + "throughput=%.0f moves/s, %.1f games/s  allocation=%.0f bytes/move%n"
+                            + "extrapolated without game setup=%.0f moves/s%n"
+                            + "latency p50=%dns p99=%dns p99.9=%dns max=%dns",
+                    moves, accepted, moves - accepted, games, wins,
+                    movesPerSecond(), gamesPerSecond(), bytesPerMove(),
+                    extrapolatedMovesPerSecond(),
+                    latencyPercentile(50), latencyPercentile(99),
+                    latencyPercentile(99.9), latencyPercentile(100));
+        }
+    }
+
+    /**
+     * Log-linear latency histogram: each power of two is split into 8 buckets,
+     * so percentiles are accurate to within 12.5% without storing samples.
+     */
+    static class LatencyHistogram {
+        private static final int SUB_BITS = 3;
+        private final long[] counts = new long[64 << SUB_BITS];
+        private long total;
+
+        void record(long nanos) {
+            counts[bucket(Math.max(1, nanos))]++;
+            total++;
+        }
+
+        void merge(LatencyHistogram other) {
+            for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+            total += other.total;
+        }
+
+        long percentile(double p) {
+            if (total == 0) return 0;
+            long rank = (long) Math.ceil(total * p / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= Math.max(1, rank)) return upperBound(i);
+            }
+            return upperBound(counts.length - 1);
+        }
+
+        private static int bucket(long nanos) {
+            int msb = 63 - Long.numberOfLeadingZeros(nanos);
+            if (msb < SUB_BITS) return (int) nanos;
+            int sub = (int) (nanos >>> (msb - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+            return ((msb - SUB_BITS + 1) << SUB_BITS) | sub;
+        }
+
+        private static long upperBound(int bucket) {
+            if (bucket < (1 << SUB_BITS)) return bucket;
+            int msb = (bucket >>> SUB_BITS) + SUB_BITS - 1;
+            long sub = bucket & ((1 << SUB_BITS) - 1);
+            return ((1L << SUB_BITS | sub) + 1) << (msb - SUB_BITS);
+        }
+    }
+
+    /**
+     * Creates a generator for the given number of bots over a shared dictionary.
+     * @requires bots > 0 && dictionary != null && !dictionary.isEmpty()
+     * @ensures the neighbor index and distance oracle are built once and shared by every bot
+     */
+    public BotLoadGenerator(int bots, Set<String> dictionary) {
+        this.bots = bots;
+        this.dictionary = dictionary;
+        this.index = new NeighborIndex(dictionary);
+        this.oracle = new DistanceOracle(dictionary, index, DistanceOracle.DEFAULT_LANDMARKS);
+    }
+
+    /**
+     * Runs every bot in parallel for the given duration; strategies are assigned round-robin.
+     * @requires duration > 0
+     * @ensures \result.moves == total number of submitted moves
+     */
+    public Report run(long duration, TimeUnit unit) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(bots);
+        long deadline = System.nanoTime() + unit.toNanos(duration);
+        List<Future<Report>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < bots; i++) {
+            Strategy strategy = Strategy.values()[i % Strategy.values().length];
+            long seed = i;
+            String name = "bot-" + i;
+            futures.add(pool.submit(() -> new Bot(name, strategy, new Random(seed)).play(deadline)));
+        }
+
+        Report total = new Report();
+        try {
+            for (Future<Report> f : futures) {
+                total.merge(f.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Bot failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        total.elapsedNanos = System.nanoTime() - start;
+        total.bots = bots;
+        return total;
+    }
+
+    private class Bot {
+        private final String name;
+        private final Strategy strategy;
+        private final Random random;
+        private final GameModel model = new GameModel(dictionary, index, oracle);
+        private final Report report = new Report();
+        private Iterator<String> plan;
+        private String pending;
+        private int gameMoves;
+
+        Bot(String name, Strategy strategy, Random random) {
+            this.name = name;
+            this.strategy = strategy;
+            this.random = random;
+            model.setFlags(false, false, true);
+            model.setPlayerName(name);
+            model.setLeaderboard(leaderboard);
+        }
+
+        Report play(long deadline) throws InterruptedException, InvocationTargetException {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            com.sun.management.ThreadMXBean allocation =
+                    threads instanceof com.sun.management.ThreadMXBean
+                            ? (com.sun.management.ThreadMXBean) threads : null;
+            long threadId = Thread.currentThread().getId();
+            if (allocation != null) report.allocatedBytes = 0;
+
+            startGame();
+            while (System.nanoTime() < deadline) {
+                if (pending == null) pending = nextWord();
+                if (pending == null) {
+                    startGame();
+                    continue;
+                }
+                int before = model.getCurrentPath().size();
+                long allocatedBefore = allocation == null ? 0 : allocation.getThreadAllocatedBytes(threadId);
+                long begin = System.nanoTime();
+                boolean typo = typeAndSubmit(pending);
+                long elapsed = System.nanoTime() - begin;
+                report.latency.record(elapsed);
+                report.moveNanos += elapsed;
+                if (allocation != null) {
+                    report.allocatedBytes += allocation.getThreadAllocatedBytes(threadId) - allocatedBefore;
+                }
+                report.moves++;
+                gameMoves++;
+
+                if (model.getCurrentPath().size() > before) {
+                    report.accepted++;
+                    pending = null;
+                } else if (!typo) {
+                    // The planned word itself was rejected, e.g. after an accidental detour.
+                    startGame();
+                    continue;
+                }
+                // A rejected typo leaves pending set, so the word is retyped next iteration.
+
+                if (model.getCurrentWord().equals(model.getTargetWord())) {
+                    report.wins++;
+                    startGame();
+                }
+                if (report.moves % DRAIN_INTERVAL == 0) {
+                    // Let the EDT catch up so queued notifications stay bounded.
+                    SwingUtilities.invokeAndWait(() -> { });
+                }
+            }
+            return report;
+        }
+
+        private void startGame() {
+            List<String> ladder = Collections.emptyList();
+            do {
+                model.newGame();
+                if (strategy == Strategy.RANDOM_WALK) break;
+                ladder = oracle.shortestLadder(model.getStartWord(), model.getTargetWord());
+            } while (ladder.size() < 2);
+            plan = ladder.isEmpty() ? Collections.emptyIterator() : ladder.listIterator(1);
+            pending = null;
+            gameMoves = 0;
+            report.games++;
+        }
+
+        private String nextWord() {
+            if (strategy == Strategy.RANDOM_WALK) {
+                if (gameMoves >= MAX_WALK_MOVES) return null;
+                List<String> options = index.neighbors(model.getCurrentWord());
+                return options.isEmpty() ? null : options.get(random.nextInt(options.size()));
+            }
+            return plan.hasNext() ? plan.next() : null;
+        }
+
+        /**
+         * Types a word, possibly with typos, and submits it once.
+         * @ensures \result == true if a wrong letter was left in the submitted word
+         */
+        private boolean typeAndSubmit(String word) {
+            boolean typo = false;
+            for (int i = 0; i < word.length(); i++) {
+                if (strategy == Strategy.TYPO && random.nextDouble() < TYPO_RATE) {
+                    // Shift by 1..25 so the typo always differs from the intended letter.
+                    model.appendToInputBuffer((char) ('a' + (word.charAt(i) - 'a' + 1 + random.nextInt(25)) % 26));
+                    if (random.nextBoolean()) {
+                        model.deleteLastInput();
+                    } else {
+                        typo = true;
+                        continue;
+                    }
+                }
+                model.appendToInputBuffer(word.charAt(i));
+            }
+            model.submitInputBuffer();
+            return typo;
+        }
+    }
+
+    /**
+     * Entry point for load testing.
+     * @requires args may contain the bot count and the run time in seconds
+     * @ensures the aggregated report is printed to standard output
+     */
+    public static void main(String[] args) throws InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+        int bots = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        BotLoadGenerator generator = new BotLoadGenerator(bots, DictionaryLoader.load("dictionary.txt"));
+        System.out.println("Running " + bots + " bots for " + seconds + "s...");
+        System.out.println(generator.run(seconds, TimeUnit.SECONDS));
+        System.exit(0);
+    }
+}
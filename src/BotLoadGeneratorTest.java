@@ -0,0 +1,62 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BotLoadGeneratorTest {
+
+    /**
+     * Scenario 1: Small latencies are bucketed exactly.
+     * @requires single samples below 8ns
+     * @ensures the maximum percentile returns the sample itself
+     */
+    @Test
+    void latencyHistogram_BelowEightNanos_IsExact() {
+        for (long v = 1; v < 8; v++) {
+            BotLoadGenerator.LatencyHistogram histogram = new BotLoadGenerator.LatencyHistogram();
+            histogram.record(v);
+            assertEquals(v, histogram.percentile(100), "Sample " + v + " must be exact");
+        }
+    }
+
+    /**
+     * Scenario 2: Larger latencies are reported within 12.5% above the sample.
+     * @requires single samples spread over many powers of two
+     * @ensures sample <= reported <= sample * 1.125
+     */
+    @Test
+    void latencyHistogram_ReportsUpperBoundWithinOneEighth() {
+        for (long v = 8; v < 1_000_000_000_000L; v = v * 3 / 2 + 1) {
+            BotLoadGenerator.LatencyHistogram histogram = new BotLoadGenerator.LatencyHistogram();
+            histogram.record(v);
+            long reported = histogram.percentile(100);
+            assertTrue(reported >= v && reported <= v * 1.125,
+                    "Sample " + v + " reported as " + reported);
+        }
+    }
+
+    /**
+     * Scenario 3: Percentiles over a uniform range, with merging.
+     * @requires samples 1..1000 split across two merged histograms
+     * @ensures p50, p99 and p100 land within one bucket of the true values
+     */
+    @Test
+    void latencyHistogram_PercentilesOfMergedUniformSamples() {
+        BotLoadGenerator.LatencyHistogram odd = new BotLoadGenerator.LatencyHistogram();
+        BotLoadGenerator.LatencyHistogram even = new BotLoadGenerator.LatencyHistogram();
+        for (long v = 1; v <= 1000; v++) {
+            (v % 2 == 0 ? even : odd).record(v);
+        }
+        odd.merge(even);
+
+        assertInRange(500, odd.percentile(50));
+        assertInRange(990, odd.percentile(99));
+        assertInRange(1000, odd.percentile(100));
+        assertEquals(1, odd.percentile(0), "p0 is the smallest sample");
+        assertEquals(0, new BotLoadGenerator.LatencyHistogram().percentile(99), "Empty histogram reports 0");
+    }
+
+    private static void assertInRange(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.125,
+                "Expected about " + expected + " but got " + actual);
+    }
+}
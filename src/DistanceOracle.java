@@ -0,0 +1,248 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Landmark (ALT) distance oracle over the word graph. A per-word component id
+ * answers reachability exactly; BFS distances from a few well-spread landmark
+ * words in the large components are stored in byte tables, and by the
+ * triangle inequality they bound the ladder distance between any two words
+ * in O(landmarks). The lower bound drives an exact A* search.
+ * @invariant table.length == landmarks.length && table[i].length == words.length
+ * @invariant component.length == words.length
+ */
+public class DistanceOracle {
+    public static final int DEFAULT_LANDMARKS = 32;
+    /** Components smaller than this get no landmarks; their size bounds distances well enough. */
+    public static final int MIN_LANDMARK_COMPONENT = 16;
+    /** Returned when two words are known to lie in different components. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int NO_DISTANCE = 0xFF;
+    private static final int MAX_DISTANCE = 0xFE;
+
+    private final String[] words;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final int[][] adjacency;
+    private final int[] component;
+    private final int[] componentSize;
+    private final int[] landmarks;
+    private final byte[][] table;
+
+    /**
+     * Builds the graph, labels its connected components and picks landmarks by
+     * farthest-point selection inside components of at least
+     * MIN_LANDMARK_COMPONENT words: the first is the best-connected candidate
+     * and each next one is the candidate farthest from those already chosen.
+     * Fewer landmarks are chosen when the graph runs out of candidates.
+     * @requires dictionary != null && index was built from dictionary && landmarkCount > 0
+     * @ensures landmarks.length <= min(landmarkCount, words in large components)
+     */
+    public DistanceOracle(Set<String> dictionary, NeighborIndex index, int landmarkCount) {
+        words = dictionary.toArray(new String[0]);
+        Arrays.sort(words);
+        for (int i = 0; i < words.length; i++) ids.put(words[i], i);
+        adjacency = new int[words.length][];
+        for (int i = 0; i < words.length; i++) {
+            List<String> neighbors = index.neighbors(words[i]);
+            int[] adj = new int[neighbors.size()];
+            for (int j = 0; j < adj.length; j++) adj[j] = ids.get(neighbors.get(j));
+            adjacency[i] = adj;
+        }
+
+        component = new int[words.length];
+        Arrays.fill(component, -1);
+        List<Integer> sizes = new ArrayList<>();
+        for (int w = 0; w < words.length; w++) {
+            if (component[w] < 0) sizes.add(label(w, sizes.size()));
+        }
+        componentSize = new int[sizes.size()];
+        for (int c = 0; c < componentSize.length; c++) componentSize[c] = sizes.get(c);
+
+        int[] picked = new int[Math.min(landmarkCount, words.length)];
+        byte[][] rows = new byte[picked.length][];
+        int[] nearest = new int[words.length];
+        Arrays.fill(nearest, Integer.MAX_VALUE);
+        int next = -1;
+        for (int w = 0; w < words.length; w++) {
+            if (!isCandidate(w)) continue;
+            if (next < 0 || adjacency[w].length > adjacency[next].length) next = w;
+        }
+        int count = 0;
+        while (count < picked.length && next >= 0) {
+            picked[count] = next;
+            rows[count] = bfs(next);
+            int farthest = -1;
+            for (int w = 0; w < words.length; w++) {
+                int d = rows[count][w] & 0xFF;
+                if (d != NO_DISTANCE) nearest[w] = Math.min(nearest[w], d);
+                if (!isCandidate(w)) continue;
+                if (farthest < 0 || nearest[w] > nearest[farthest]) farthest = w;
+            }
+            count++;
+            // Stop once every candidate is already a landmark.
+            next = (farthest >= 0 && nearest[farthest] > 0) ? farthest : -1;
+        }
+        landmarks = Arrays.copyOf(picked, count);
+        table = Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Returns a lower bound on the ladder distance, or UNREACHABLE exactly when
+     * the two words lie in different components.
+     * @requires from and to are dictionary words
+     * @ensures \result <= exact distance
+     */
+    public int lowerBound(String from, String to) {
+        return lowerBound(id(from), id(to));
+    }
+
+    /**
+     * Returns an upper bound on the ladder distance via the best landmark detour,
+     * capped by the component size, or UNREACHABLE for different components.
+     * @requires from and to are dictionary words
+     * @ensures \result >= exact distance
+     */
+    public int upperBound(String from, String to) {
+        int a = id(from), b = id(to);
+        if (a == b) return 0;
+        if (component[a] != component[b]) return UNREACHABLE;
+        int best = componentSize[component[a]] - 1;
+        for (byte[] row : table) {
+            int da = row[a] & 0xFF, db = row[b] & 0xFF;
+            if (da >= MAX_DISTANCE || db >= MAX_DISTANCE) continue;
+            best = Math.min(best, da + db);
+        }
+        return best;
+    }
+
+    /**
+     * Finds a shortest ladder with A*, using the landmark lower bound as heuristic.
+     * @requires from and to are dictionary words
+     * @ensures \result is empty if to is unreachable, otherwise a shortest ladder from from to to
+     */
+    public List<String> shortestLadder(String from, String to) {
+        int source = id(from), goal = id(to);
+        if (lowerBound(source, goal) == UNREACHABLE) return Collections.emptyList();
+        int[] g = new int[words.length];
+        int[] parent = new int[words.length];
+        Arrays.fill(g, Integer.MAX_VALUE);
+        g[source] = 0;
+        parent[source] = -1;
+        // Entries pack (f << 32 | node); stale entries are skipped on poll.
+        PriorityQueue<Long> open = new PriorityQueue<>();
+        open.add(((long) lowerBound(source, goal) << 32) | source);
+        while (!open.isEmpty()) {
+            long entry = open.poll();
+            int node = (int) entry;
+            int f = (int) (entry >>> 32);
+            if (f > g[node] + lowerBound(node, goal)) continue;
+            if (node == goal) return path(parent, goal);
+            for (int n : adjacency[node]) {
+                int cost = g[node] + 1;
+                if (cost >= g[n]) continue;
+                int h = lowerBound(n, goal);
+                g[n] = cost;
+                parent[n] = node;
+                open.add(((long) (cost + h) << 32) | n);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the exact ladder distance, or UNREACHABLE.
+     * @requires from and to are dictionary words
+     * @ensures lowerBound(from, to) <= \result && \result <= upperBound(from, to)
+     */
+    public int distance(String from, String to) {
+        List<String> ladder = shortestLadder(from, to);
+        return ladder.isEmpty() ? UNREACHABLE : ladder.size() - 1;
+    }
+
+    public List<String> getLandmarks() {
+        List<String> result = new ArrayList<>(landmarks.length);
+        for (int l : landmarks) result.add(words[l]);
+        return result;
+    }
+
+    /**
+     * Returns whether two words are connected by some ladder.
+     * @requires from and to are dictionary words
+     * @ensures \result == (lowerBound(from, to) != UNREACHABLE)
+     */
+    public boolean isConnected(String from, String to) {
+        return component[id(from)] == component[id(to)];
+    }
+
+    private int lowerBound(int a, int b) {
+        if (component[a] != component[b]) return UNREACHABLE;
+        int best = 0;
+        for (byte[] row : table) {
+            // Within one component a landmark reaches either both words or neither.
+            int da = row[a] & 0xFF, db = row[b] & 0xFF;
+            if (da != NO_DISTANCE) best = Math.max(best, Math.abs(da - db));
+        }
+        return best;
+    }
+
+    private boolean isCandidate(int word) {
+        return componentSize[component[word]] >= MIN_LANDMARK_COMPONENT;
+    }
+
+    /** Labels the component containing source and returns its size. */
+    private int label(int source, int id) {
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        component[source] = id;
+        queue.add(source);
+        int size = 0;
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            size++;
+            for (int n : adjacency[node]) {
+                if (component[n] < 0) {
+                    component[n] = id;
+                    queue.add(n);
+                }
+            }
+        }
+        return size;
+    }
+
+    private byte[] bfs(int source) {
+        byte[] distance = new byte[words.length];
+        Arrays.fill(distance, (byte) NO_DISTANCE);
+        distance[source] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            int d = Math.min((distance[node] & 0xFF) + 1, MAX_DISTANCE);
+            for (int n : adjacency[node]) {
+                if ((distance[n] & 0xFF) == NO_DISTANCE) {
+                    distance[n] = (byte) d;
+                    queue.add(n);
+                }
+            }
+        }
+        return distance;
+    }
+
+    private List<String> path(int[] parent, int goal) {
+        List<String> ladder = new ArrayList<>();
+        for (int node = goal; node != -1; node = parent[node]) ladder.add(words[node]);
+        Collections.reverse(ladder);
+        return ladder;
+    }
+
+    private int id(String word) {
+        Integer id = ids.get(word);
+        if (id == null) throw new IllegalArgumentException(word + " not in dictionary!");
+        return id;
+    }
+}
@@ -0,0 +1,69 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistanceOracleTest {
+
+    private static DistanceOracle oracleFor(String... words) {
+        Set<String> dictionary = new HashSet<>(Arrays.asList(words));
+        return new DistanceOracle(dictionary, new NeighborIndex(dictionary), 4);
+    }
+
+    /**
+     * Scenario 1: A dictionary of isolated words yields no landmarks.
+     * @requires no two words are one letter apart, landmarkCount > 1
+     * @ensures construction succeeds and distances fall back to exact search
+     */
+    @Test
+    void constructor_WhenEveryWordIsIsolated_PicksNoLandmarks() {
+        DistanceOracle oracle = oracleFor("abcd", "wxyz");
+
+        assertTrue(oracle.getLandmarks().isEmpty(), "Isolated words must not become landmarks");
+        assertFalse(oracle.isConnected("abcd", "wxyz"), "Isolated words are not connected");
+        assertEquals(DistanceOracle.UNREACHABLE, oracle.lowerBound("abcd", "wxyz"),
+                "Different components must be reported exactly");
+        assertEquals(DistanceOracle.UNREACHABLE, oracle.distance("abcd", "wxyz"),
+                "Disconnected words have no ladder");
+        assertEquals(0, oracle.distance("abcd", "abcd"), "A word is at distance 0 from itself");
+    }
+
+    /**
+     * Scenario 2: Small components get no landmarks but still answer exactly.
+     * @requires a three-word chain plus an isolated word
+     * @ensures no landmarks, exact distances, and the component size caps the upper bound
+     */
+    @Test
+    void constructor_WhenComponentsAreSmall_UsesComponentIdsInsteadOfLandmarks() {
+        DistanceOracle oracle = oracleFor("east", "vast", "vest", "zzzz");
+
+        assertTrue(oracle.getLandmarks().isEmpty(), "Components below MIN_LANDMARK_COMPONENT get no landmarks");
+        assertEquals(2, oracle.distance("east", "vest"));
+        assertTrue(oracle.upperBound("east", "vest") <= 2, "A 3-word component bounds distances by 2");
+        assertEquals(DistanceOracle.UNREACHABLE, oracle.lowerBound("east", "zzzz"),
+                "Different components must be reported exactly");
+    }
+
+    /**
+     * Scenario 3: On the shipped dictionary every landmark sits in a large component.
+     * @requires the full dictionary and DEFAULT_LANDMARKS
+     * @ensures every landmark has at least MIN_LANDMARK_COMPONENT connected words
+     */
+    @Test
+    void constructor_OnShippedDictionary_PlacesLandmarksInLargeComponents() {
+        Set<String> dictionary = DictionaryLoader.load("dictionary.txt");
+        DistanceOracle oracle = new DistanceOracle(dictionary, new NeighborIndex(dictionary),
+                DistanceOracle.DEFAULT_LANDMARKS);
+
+        assertEquals(DistanceOracle.DEFAULT_LANDMARKS, oracle.getLandmarks().size());
+        for (String landmark : oracle.getLandmarks()) {
+            long connected = dictionary.stream().filter(w -> oracle.isConnected(landmark, w)).count();
+            assertTrue(connected >= DistanceOracle.MIN_LANDMARK_COMPONENT,
+                    landmark + " lies in a component of only " + connected + " words");
+        }
+        assertTrue(oracle.isConnected("east", "west"));
+    }
+}
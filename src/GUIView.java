@@ -21,6 +21,9 @@ public class GUIView extends JFrame implements Observer {
     JButton resetButton;
     private final Color CORRECT_COLOR = new Color(106, 170, 100);
     private final Color WRONG_COLOR = new Color(120, 124, 126);
+    private final Color DEAD_END_COLOR = new Color(255, 205, 205);
+    private final JButton[] keyButtons = new JButton[26];
+    private JButton enterButton, deleteButton;
     private JCheckBox showErrorsCheckbox;
     private JCheckBox showPathCheckbox;
     private JCheckBox randomWordsCheckbox;
@@ -133,8 +136,8 @@ public class GUIView extends JFrame implements Observer {
         }
 
         JPanel controlPanel = new JPanel(new GridLayout(1, 3, 5, 5));
-        JButton enterButton = createControlButton("ENTER", () -> submitListener.onSubmit());
-        JButton deleteButton = createControlButton("⌫", () -> deleteListener.onDelete());
+        enterButton = createControlButton("ENTER", () -> submitListener.onSubmit());
+        deleteButton = createControlButton("⌫", () -> deleteListener.onDelete());
         JButton resetButton = createControlButton("NEW GAME", () -> model.setFlags(
                 model.isShowErrors(),
                 model.isShowPath(),
@@ -158,6 +161,7 @@ public class GUIView extends JFrame implements Observer {
         add(keyboardPanel, BorderLayout.SOUTH);
 
         setSize(600, 700);
+        updateInputEnabled();
         setVisible(true);
     }
 
@@ -201,6 +205,7 @@ public class GUIView extends JFrame implements Observer {
         button.setForeground(Color.WHITE);
         button.setBorder(BorderFactory.createRaisedBevelBorder());
         button.addActionListener(e -> keyListener.onKeyPressed(c));
+        keyButtons[Character.toLowerCase(c) - 'a'] = button;
         return button;
     }
 
@@ -228,7 +233,8 @@ public class GUIView extends JFrame implements Observer {
 
             if (i < word.length()) {
                 letter.setText(String.valueOf(wordChar).toUpperCase());
-                letter.setBackground(panel == inputPanel ? Color.WHITE :
+                letter.setBackground(panel == inputPanel ?
+                        (model.isInputBufferFeasible() ? Color.WHITE : DEAD_END_COLOR) :
                         (isCorrect ? CORRECT_COLOR : WRONG_COLOR));
             } else {
                 letter.setBackground(WRONG_COLOR);
@@ -239,6 +245,39 @@ public class GUIView extends JFrame implements Observer {
         panel.repaint();
     }
 
+    /**
+     * Enables the keyboard only once the model has loaded its dictionary.
+     * @ensures letter, enter and delete buttons are enabled <==> model.isReady()
+     */
+    private void updateInputEnabled() {
+        boolean ready = model.isReady();
+        for (JButton key : keyButtons) {
+            if (key != null) key.setEnabled(ready);
+        }
+        enterButton.setEnabled(ready);
+        deleteButton.setEnabled(ready);
+        if (ready) {
+            setTitle("Word Weaver");
+        } else if (model.getLoadFailure() != null) {
+            setTitle("Word Weaver (dictionary failed to load)");
+        } else {
+            setTitle("Word Weaver (loading dictionary...)");
+        }
+    }
+
+    /**
+     * Highlights the keys that keep the input buffer completable into a valid move.
+     * @requires all keyButtons are initialized
+     * @ensures keys in model.getNextLetterMask() use CORRECT_COLOR, others WRONG_COLOR
+     */
+    private void updateKeyboardColors() {
+        int mask = model.getNextLetterMask();
+        for (int i = 0; i < keyButtons.length; i++) {
+            if (keyButtons[i] == null) continue;
+            keyButtons[i].setBackground((mask & (1 << i)) != 0 ? CORRECT_COLOR : WRONG_COLOR);
+        }
+    }
+
     private void addHistoryEntry(String previous, String current) {
         JPanel entry = new JPanel(new BorderLayout());
         entry.setBackground(Color.WHITE);
@@ -286,6 +325,12 @@ public class GUIView extends JFrame implements Observer {
                                 "Invalid Move",
                                 JOptionPane.ERROR_MESSAGE);
                         break;
+                    case LOAD_FAILED:
+                        JOptionPane.showMessageDialog(this,
+                                event.message,
+                                "Startup Error",
+                                JOptionPane.ERROR_MESSAGE);
+                        break;
                     case WIN:
                         int choice = JOptionPane.showOptionDialog(this,
                                 event.message + "\nPlay again?",
@@ -306,6 +351,8 @@ public class GUIView extends JFrame implements Observer {
         } else {
             SwingUtilities.invokeLater(() -> {
                 updateWordRow(inputPanel, model.getInputBuffer(), model.getTargetWord());
+                updateKeyboardColors();
+                updateInputEnabled();
 
                 int currentSize = model.getCurrentPath().size();
                 if (currentSize > lastPathSize && currentSize >= 2) {
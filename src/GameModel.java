@@ -1,21 +1,40 @@
 import javax.swing.*;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Represents the core logic and state of the Weaver game.
  * @invariant startWord.length() == WORD_LENGTH && targetWord.length() == WORD_LENGTH
- * @invariant dictionary != null && !dictionary.isEmpty()
+ * @invariant dictionary != null && (isReady() ==> !dictionary.isEmpty())
  * @invariant currentPath != null && currentPath.get(0).equals(startWord)
  */
 public class GameModel extends Observable {
     Set<String> getDictionary() { return this.dictionary; }
     public static final int WORD_LENGTH = 4;
-    private final Set<String> dictionary;
+    private static final int MAX_PUZZLE_ATTEMPTS = 1000;
+    private static final String DICTIONARY_FILE = "dictionary.txt";
+    private volatile Set<String> dictionary = Collections.emptySet();
+    private volatile boolean ready;
+    private volatile Throwable loadFailure;
+    private final CompletableFuture<Void> indicesReady = new CompletableFuture<>();
     private String startWord;
     private String targetWord;
     private final List<String> currentPath = new ArrayList<>();
     private StringBuilder inputBuffer = new StringBuilder();
+    private NeighborIndex neighborIndex;
+    private LadderCounter ladderCounter;
+    private DistanceOracle distanceOracle;
+    private volatile Leaderboard leaderboard;
+    private String playerName = System.getProperty("user.name", "player");
+    private long gameStartMillis;
+    private boolean resultRecorded;
+    private int[] letterMasks = new int[WORD_LENGTH];
+    private final boolean[] canChangeFrom = new boolean[WORD_LENGTH + 1];
 
     private boolean showErrors = true;
     private boolean showPath = false;
@@ -60,7 +79,7 @@ public class GameModel extends Observable {
     }
 
     public static class GameEvent {
-        public enum Type { ERROR, WIN }
+        public enum Type { ERROR, WIN, LOAD_FAILED }
         public final Type type;
         public final String message;
 
@@ -71,21 +90,129 @@ public class GameModel extends Observable {
     }
 
     public GameModel() {
-        this.dictionary = DictionaryLoader.load("dictionary.txt");
+        this(DictionaryLoader.load(DICTIONARY_FILE));
+    }
+
+    private GameModel(Set<String> dictionary) {
+        this(dictionary, new NeighborIndex(dictionary));
+    }
+
+    private GameModel(Set<String> dictionary, NeighborIndex index) {
+        this(dictionary, index, new DistanceOracle(dictionary, index, DistanceOracle.DEFAULT_LANDMARKS));
+    }
+
+    /**
+     * Creates a ready model over an already loaded dictionary and indices,
+     * so many headless models can share them.
+     * @requires dictionary != null && index and oracle were built from dictionary
+     * @ensures isReady()
+     */
+    GameModel(Set<String> dictionary, NeighborIndex index, DistanceOracle oracle) {
+        this.dictionary = dictionary;
+        this.ready = true;
+        installIndices(index, oracle);
         initializeWords();
     }
 
+    /**
+     * Creates a model that loads its dictionary and indices on the given executor.
+     * Play is enabled on the Event Dispatch Thread once the word set is loaded;
+     * the neighbor index, ladder solver and distance oracle are installed afterwards.
+     * If loading fails or yields no words, a LOAD_FAILED event is sent and
+     * getLoadFailure() reports the cause.
+     * @requires executor != null
+     * @ensures !isReady() until the dictionary has been loaded
+     */
+    public GameModel(Executor executor) {
+        this(executor, () -> DictionaryLoader.load(DICTIONARY_FILE));
+    }
+
+    GameModel(Executor executor, Supplier<Set<String>> loader) {
+        initializeWords();
+        CompletableFuture<Set<String>> words = CompletableFuture.supplyAsync(loader, executor)
+                .thenApply(w -> {
+                    // DictionaryLoader reports a missing or unreadable file as an empty set.
+                    if (w.isEmpty()) throw new CompletionException(new IOException("no words in " + DICTIONARY_FILE));
+                    return w;
+                });
+        words.whenCompleteAsync((w, e) -> {
+            if (e != null) {
+                failLoading(e);
+            } else {
+                installDictionary(w);
+            }
+        }, SwingUtilities::invokeLater);
+        CompletableFuture<NeighborIndex> index = words.thenApplyAsync(NeighborIndex::new, executor);
+        CompletableFuture<DistanceOracle> oracle = words.thenCombineAsync(index,
+                (w, i) -> new DistanceOracle(w, i, DistanceOracle.DEFAULT_LANDMARKS), executor);
+        index.thenAcceptBothAsync(oracle, (i, o) -> {
+                    installIndices(i, o);
+                    updateLetterMasks();
+                    notifyStateChange();
+                }, SwingUtilities::invokeLater)
+                .exceptionally(e -> {
+                    indicesReady.completeExceptionally(e);
+                    return null;
+                });
+    }
+
+    private void installDictionary(Set<String> words) {
+        this.dictionary = words;
+        this.ready = true;
+        initializeWords();
+    }
+
+    private void failLoading(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        this.loadFailure = cause;
+        indicesReady.completeExceptionally(cause);
+        SwingUtilities.invokeLater(() -> {
+            setChanged();
+            notifyObservers(new GameEvent(GameEvent.Type.LOAD_FAILED,
+                    "Could not load dictionary: " + cause.getMessage()));
+        });
+        notifyStateChange();
+    }
+
+    private void installIndices(NeighborIndex index, DistanceOracle oracle) {
+        this.neighborIndex = index;
+        this.ladderCounter = new LadderCounter(index);
+        this.distanceOracle = oracle;
+        indicesReady.complete(null);
+    }
+
+    /**
+     * Returns whether the dictionary is loaded and input is accepted.
+     * @ensures \result == true ==> getDictionary() is the loaded word set
+     */
+    public boolean isReady() { return ready; }
+
+    /**
+     * Returns why the dictionary failed to load, or null if it has not failed.
+     * @ensures \result != null ==> !isReady()
+     */
+    public Throwable getLoadFailure() { return loadFailure; }
+
+    /**
+     * Returns a future that completes once the neighbor index and ladder solver are installed.
+     * @ensures \result != null
+     */
+    public CompletableFuture<Void> whenIndicesReady() { return indicesReady; }
+
     private void initializeWords() {
         if (randomWords && !dictionary.isEmpty()) {
             List<String> validWords = new ArrayList<>(dictionary).stream()
                     .filter(w -> w.length() == WORD_LENGTH)
                     .collect(Collectors.toList());
 
+            // Bounded so a dictionary with no connected pair cannot loop forever.
+            int attempts = 0;
             do {
                 Collections.shuffle(validWords);
                 startWord = validWords.get(0);
                 targetWord = validWords.size() > 1 ? validWords.get(1) : startWord;
-            } while (startWord.equals(targetWord));
+            } while (++attempts < MAX_PUZZLE_ATTEMPTS && (startWord.equals(targetWord)
+                    || (distanceOracle != null && !distanceOracle.isConnected(startWord, targetWord))));
         } else {
             startWord = "east";
             targetWord = "west";
@@ -93,13 +220,39 @@ public class GameModel extends Observable {
         resetGameState();
     }
 
+    /**
+     * Starts a new game, picking fresh words when random words are enabled.
+     * @requires true (no specific precondition)
+     * @ensures currentPath.size() == 1 && currentPath.get(0).equals(startWord)
+     */
+    public void newGame() {
+        initializeWords();
+    }
+
     private void resetGameState() {
         currentPath.clear();
         currentPath.add(startWord);
         inputBuffer.setLength(0);
+        gameStartMillis = System.currentTimeMillis();
+        resultRecorded = false;
+        updateLetterMasks();
         notifyStateChange();
     }
 
+    /**
+     * Recomputes the per-position letter masks for the current word.
+     * @requires getCurrentWord().length() == WORD_LENGTH
+     * @ensures canChangeFrom[i] == (letterMasks[j] != 0 for some j >= i)
+     */
+    private void updateLetterMasks() {
+        if (neighborIndex == null) return;
+        letterMasks = neighborIndex.letterMasks(getCurrentWord());
+        canChangeFrom[WORD_LENGTH] = false;
+        for (int i = WORD_LENGTH - 1; i >= 0; i--) {
+            canChangeFrom[i] = letterMasks[i] != 0 || canChangeFrom[i + 1];
+        }
+    }
+
     /**
      * Submits a word to progress the game.
      * @requires word != null && word.length() == WORD_LENGTH
@@ -108,6 +261,7 @@ public class GameModel extends Observable {
      * @ensures (\result == true) ==> (word differs by exactly 1 letter from last word)
      */
     public void submitInputBuffer() {
+        if (!ready) return;
         String word = inputBuffer.toString().toLowerCase();
         inputBuffer.setLength(0);
         notifyStateChange();
@@ -143,6 +297,7 @@ public class GameModel extends Observable {
 
         currentPath.add(word);
         if (showPath) debugPath.add(word);
+        updateLetterMasks();
         notifyStateChange();
 
         if (word.equals(targetWord)) {
@@ -170,6 +325,7 @@ public class GameModel extends Observable {
     }
 
     void notifyWin() {
+        recordResult();
         SwingUtilities.invokeLater(() -> {
             setChanged();
             notifyObservers(new GameEvent(GameEvent.Type.WIN,
@@ -177,6 +333,19 @@ public class GameModel extends Observable {
         });
     }
 
+    /**
+     * Records the finished game on the leaderboard, once per game.
+     * @requires getCurrentWord().equals(targetWord)
+     * @ensures resultRecorded == true
+     */
+    private synchronized void recordResult() {
+        if (resultRecorded || leaderboard == null) return;
+        resultRecorded = true;
+        long now = System.currentTimeMillis();
+        leaderboard.record(getPuzzleKey(), new Leaderboard.Result(
+                playerName, currentPath.size() - 1, now - gameStartMillis, now));
+    }
+
     private void notifyStateChange() {
         SwingUtilities.invokeLater(() -> {
             setChanged();
@@ -190,6 +359,89 @@ public class GameModel extends Observable {
     public List<String> getCurrentPath() { return Collections.unmodifiableList(currentPath); }
     public String getCurrentWord() { return currentPath.isEmpty() ? "" : currentPath.get(currentPath.size()-1); }
     public String getInputBuffer() { return inputBuffer.toString().toUpperCase(); }
+    public String getPuzzleKey() { return startWord + "->" + targetWord; }
+
+    /**
+     * Sets the leaderboard that finished games are recorded on.
+     * @requires true (null disables recording)
+     * @ensures this.leaderboard == leaderboard
+     */
+    public void setLeaderboard(Leaderboard leaderboard) { this.leaderboard = leaderboard; }
+    public Leaderboard getLeaderboard() { return leaderboard; }
+
+    /**
+     * Sets the name recorded with finished games.
+     * @requires playerName != null
+     * @ensures this.playerName == playerName
+     */
+    public void setPlayerName(String playerName) { this.playerName = playerName; }
+    public String getPlayerName() { return playerName; }
+
+    /**
+     * Returns the shortest-ladder analysis for the current puzzle, for scoring.
+     * @requires true (no specific precondition)
+     * @ensures \result == null while the indices are still loading
+     */
+    public LadderCounter.Ladders getLadders() {
+        return ladderCounter == null ? null : ladderCounter.analyze(startWord, targetWord);
+    }
+
+    /**
+     * Returns the landmark distance oracle over the dictionary.
+     * @requires true (no specific precondition)
+     * @ensures \result == null while the indices are still loading
+     */
+    public DistanceOracle getDistanceOracle() { return distanceOracle; }
+    /**
+     * Returns the letters that turn the current word into a dictionary word at a position.
+     * @requires 0 <= position && position < WORD_LENGTH
+     * @ensures \result is a 26-bit mask with bit (c - 'a') set for each valid letter c
+     */
+    public int getLetterMask(int position) { return letterMasks[position]; }
+
+    /**
+     * Checks whether the input buffer can still be completed into a valid move.
+     * @requires true (no specific precondition)
+     * @ensures \result == true <==> some dictionary word one letter away from
+     *          the current word starts with the input buffer
+     */
+    public boolean isInputBufferFeasible() {
+        if (neighborIndex == null) return true;
+        int changed = changedPosition();
+        if (changed == -2) return false;
+        if (changed == -1) return canChangeFrom[inputBuffer.length()];
+        return (letterMasks[changed] & NeighborIndex.bit(inputBuffer.charAt(changed))) != 0;
+    }
+
+    /**
+     * Returns the letters that keep the input buffer feasible when typed next.
+     * @requires true (no specific precondition)
+     * @ensures \result == 0 if the buffer is full or already infeasible
+     */
+    public int getNextLetterMask() {
+        int next = inputBuffer.length();
+        if (neighborIndex == null || next >= WORD_LENGTH || !isInputBufferFeasible()) return 0;
+        int keep = NeighborIndex.bit(getCurrentWord().charAt(next));
+        if (changedPosition() >= 0) return keep;
+        return letterMasks[next] | (canChangeFrom[next + 1] ? keep : 0);
+    }
+
+    /**
+     * Finds where the input buffer departs from the current word.
+     * @ensures \result == -1 if it matches, -2 if it differs in more than one
+     *          position, otherwise the single differing position
+     */
+    private int changedPosition() {
+        String current = getCurrentWord();
+        int changed = -1;
+        for (int i = 0; i < inputBuffer.length(); i++) {
+            if (inputBuffer.charAt(i) != current.charAt(i)) {
+                if (changed >= 0) return -2;
+                changed = i;
+            }
+        }
+        return changed;
+    }
 
     /**
      * Appends a letter to the input buffer.
@@ -197,6 +449,7 @@ public class GameModel extends Observable {
      * @ensures inputBuffer.length() == \old(inputBuffer.length()) + 1
      */
     public void appendToInputBuffer(char letter) {
+        if (!ready) return;
         if (inputBuffer.length() < WORD_LENGTH) {
             inputBuffer.append(Character.toLowerCase(letter));
             notifyStateChange();
@@ -1,5 +1,11 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class GameModelTest {
@@ -64,4 +70,133 @@ public class GameModelTest {
         assertTrue(model.getDictionary().contains(model.getStartWord()), "Start word must be valid");
         assertTrue(model.getDictionary().contains(model.getTargetWord()), "Target word must be valid");
     }
-}
\ No newline at end of file
+
+    /**
+     * Scenario 4: Live input feedback from the per-position letter masks.
+     * @requires currentWord = "east", "vast" in dictionary
+     * @ensures "VA" is a feasible prefix, "VZ" is not, and 'v' is valid at position 0
+     */
+    @Test
+    void inputBufferFeasibility_TracksLetterMasksOfCurrentWord() {
+        // Precondition check
+        assertEquals("east", model.getCurrentWord(), "Initial word must be 'east'");
+        assertNotEquals(0, model.getLetterMask(0) & NeighborIndex.bit('v'), "'v' should be valid at position 0");
+        assertEquals(0, model.getLetterMask(0) & NeighborIndex.bit('e'), "Current letter must not be in its own mask");
+
+        // Action & Assertion
+        model.appendToInputBuffer('v');
+        model.appendToInputBuffer('a');
+        assertTrue(model.isInputBufferFeasible(), "'VA' can still complete to 'vast'");
+        assertNotEquals(0, model.getNextLetterMask() & NeighborIndex.bit('s'), "'s' should be highlighted next");
+        model.deleteLastInput();
+        model.appendToInputBuffer('z');
+        assertFalse(model.isInputBufferFeasible(), "'VZ' changes two letters");
+        assertEquals(0, model.getNextLetterMask(), "No key should be highlighted on a dead end");
+    }
+
+    /**
+     * Scenario 5: Counting the shortest ladders of the fixed puzzle.
+     * @requires startWord = "east", targetWord = "west"
+     * @ensures every enumerated ladder is optimal and the count matches the enumeration
+     */
+    @Test
+    void getLadders_ForFixedPuzzle_CountMatchesEnumeration() {
+        LadderCounter.Ladders ladders = model.getLadders();
+        assertTrue(ladders.length > 0, "'west' must be reachable from 'east'");
+        assertFalse(ladders.overflowed, "Small dictionary must not overflow");
+
+        int enumerated = 0;
+        for (java.util.List<String> ladder : ladders) {
+            assertEquals(ladders.length + 1, ladder.size(), "Every ladder must be optimal");
+            enumerated++;
+        }
+        assertEquals(ladders.count, enumerated, "Count must match enumeration");
+        assertEquals(ladders.count, ladders.frequency("east"), "Every ladder passes through the start");
+        assertSame(ladders, model.getLadders(), "Result should be cached per puzzle");
+    }
+
+    /**
+     * Scenario 6: Landmark distance bounds agree with the exact ladder length.
+     * @requires startWord = "east", targetWord = "west"
+     * @ensures lowerBound <= distance <= upperBound and A* matches the BFS ladder length
+     */
+    @Test
+    void getDistanceOracle_ForFixedPuzzle_BoundsExactDistance() {
+        DistanceOracle oracle = model.getDistanceOracle();
+        int exact = model.getLadders().length;
+
+        assertEquals(exact, oracle.distance("east", "west"), "A* must find a shortest ladder");
+        assertTrue(oracle.lowerBound("east", "west") <= exact, "Lower bound must not exceed the distance");
+        assertTrue(oracle.upperBound("east", "west") >= exact, "Upper bound must not undercut the distance");
+        assertEquals(0, oracle.upperBound("east", "east"), "A word is at distance 0 from itself");
+    }
+
+    /**
+     * Scenario 7: Staged startup keeps input disabled until the dictionary arrives.
+     * @requires a GameModel built on an executor that queues its tasks
+     * @ensures isReady() goes false -> true, early input is ignored, indices complete
+     */
+    @Test
+    void stagedConstructor_IgnoresInputUntilDictionaryLoads() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        GameModel staged = new GameModel(tasks::add);
+
+        assertFalse(staged.isReady(), "Model must not be ready before loading");
+        staged.appendToInputBuffer('v');
+        assertEquals("", staged.getInputBuffer(), "Input must be ignored before ready");
+        staged.submitInputBuffer();
+        assertEquals(1, staged.getCurrentPath().size(), "Submit must be ignored before ready");
+
+        drain(tasks, staged);
+
+        assertTrue(staged.isReady(), "Model must be ready once the dictionary is loaded");
+        assertNull(staged.getLoadFailure(), "Successful load must not report a failure");
+        staged.whenIndicesReady().get(5, TimeUnit.SECONDS);
+        assertNotNull(staged.getDistanceOracle(), "Indices must be installed");
+        staged.appendToInputBuffer('v');
+        assertEquals("V", staged.getInputBuffer(), "Input must be accepted once ready");
+    }
+
+    /**
+     * Scenario 8: A failing dictionary load is reported instead of hanging.
+     * @requires a loader that throws UncheckedIOException
+     * @ensures the model stays not ready, reports the failure, and whenIndicesReady() fails
+     */
+    @Test
+    void stagedConstructor_WhenLoadFails_ReportsFailure() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        UncheckedIOException failure = new UncheckedIOException(new java.io.IOException("malformed input"));
+        GameModel staged = new GameModel(tasks::add, () -> { throw failure; });
+
+        drain(tasks, staged);
+
+        assertFalse(staged.isReady(), "Model must not become ready after a failed load");
+        assertSame(failure, staged.getLoadFailure(), "Failure cause must be reported");
+        assertTrue(staged.whenIndicesReady().isCompletedExceptionally(), "Indices future must fail");
+    }
+
+    /**
+     * Scenario 9: A missing dictionary file counts as a failed load.
+     * @requires a loader pointed at a file that does not exist
+     * @ensures the model stays not ready and reports the failure
+     */
+    @Test
+    void stagedConstructor_WhenDictionaryFileIsMissing_ReportsFailure() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        GameModel staged = new GameModel(tasks::add, () -> DictionaryLoader.load("/nonexistent/dictionary.txt"));
+
+        drain(tasks, staged);
+
+        assertFalse(staged.isReady(), "An empty word set must not enable play");
+        assertNotNull(staged.getLoadFailure(), "Missing file must be reported as a failure");
+        assertTrue(staged.whenIndicesReady().isCompletedExceptionally(), "Indices future must fail");
+        assertTrue(staged.getDictionary().isEmpty());
+    }
+
+    private static void drain(List<Runnable> tasks, GameModel staged) throws Exception {
+        for (int round = 0; round < 10 && !staged.whenIndicesReady().isDone(); round++) {
+            while (!tasks.isEmpty()) tasks.remove(0).run();
+            SwingUtilities.invokeAndWait(() -> { });
+        }
+    }
+}
@@ -0,0 +1,284 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Counts and enumerates the shortest word ladders between two words.
+ * Shortest ladders form a layered DAG (edges that move one step closer to the
+ * target), so counts are computed by dynamic programming over the BFS layers.
+ * @invariant index != null && cache.size() <= CACHE_SIZE
+ */
+public class LadderCounter {
+    private static final int CACHE_SIZE = 64;
+    private final NeighborIndex index;
+    private final Map<String, Ladders> cache = new LinkedHashMap<String, Ladders>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Ladders> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Creates a counter over the given neighbor index.
+     * @requires index != null
+     * @ensures this.index == index
+     */
+    public LadderCounter(NeighborIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Result of analysing one (start, target) puzzle.
+     * @invariant length == -1 ==> count == 0
+     */
+    public class Ladders implements Iterable<List<String>> {
+        public final String start;
+        public final String target;
+        /** Number of moves in a shortest ladder, or -1 if the target is unreachable. */
+        public final int length;
+        /** Number of shortest ladders, saturated at Long.MAX_VALUE when overflowed. */
+        public final long count;
+        public final boolean overflowed;
+        private final Map<String, Integer> distanceToTarget;
+        private final Map<String, Long> frequency;
+
+        private Ladders(String start, String target, Map<String, Integer> distanceToTarget) {
+            this.start = start;
+            this.target = target;
+            this.distanceToTarget = distanceToTarget;
+            Integer d = distanceToTarget.get(start);
+            this.length = d == null ? -1 : d;
+            this.frequency = new HashMap<>();
+            if (length < 0) {
+                this.count = 0;
+                this.overflowed = false;
+                return;
+            }
+
+            List<List<String>> layers = new ArrayList<>();
+            Map<String, Long> fromStart = new HashMap<>();
+            layers.add(Collections.singletonList(start));
+            fromStart.put(start, 1L);
+            boolean overflow = false;
+            for (int step = 0; step < length; step++) {
+                List<String> next = new ArrayList<>();
+                for (String word : layers.get(step)) {
+                    long paths = fromStart.get(word);
+                    for (String succ : successors(word)) {
+                        Long old = fromStart.get(succ);
+                        if (old == null) next.add(succ);
+                        long sum = saturatedAdd(old == null ? 0 : old, paths);
+                        overflow |= sum == Long.MAX_VALUE;
+                        fromStart.put(succ, sum);
+                    }
+                }
+                layers.add(next);
+            }
+
+            Map<String, Long> toTarget = new HashMap<>();
+            toTarget.put(target, 1L);
+            for (int step = length - 1; step >= 0; step--) {
+                for (String word : layers.get(step)) {
+                    long paths = 0;
+                    for (String succ : successors(word)) {
+                        paths = saturatedAdd(paths, toTarget.get(succ));
+                    }
+                    overflow |= paths == Long.MAX_VALUE;
+                    toTarget.put(word, paths);
+                }
+            }
+            for (List<String> layer : layers) {
+                for (String word : layer) {
+                    long through = saturatedMultiply(fromStart.get(word), toTarget.get(word));
+                    overflow |= through == Long.MAX_VALUE;
+                    frequency.put(word, through);
+                }
+            }
+            this.count = fromStart.get(target);
+            this.overflowed = overflow;
+        }
+
+        /**
+         * Returns how many shortest ladders pass through a word.
+         * @requires word != null
+         * @ensures \result == 0 if word lies on no shortest ladder
+         */
+        public long frequency(String word) {
+            return frequency.getOrDefault(word, 0L);
+        }
+
+        /**
+         * Lazily enumerates every shortest ladder, start and target included.
+         * @ensures ladders are produced depth-first without materializing them all
+         */
+        @Override
+        public Iterator<List<String>> iterator() {
+            return length < 0 ? Collections.emptyIterator() : new OptimalIterator();
+        }
+
+        private List<String> successors(String word) {
+            int d = distanceToTarget.get(word);
+            List<String> result = new ArrayList<>();
+            for (String n : index.neighbors(word)) {
+                Integer nd = distanceToTarget.get(n);
+                if (nd != null && nd == d - 1) result.add(n);
+            }
+            return result;
+        }
+
+        private class OptimalIterator implements Iterator<List<String>> {
+            private final Deque<Iterator<String>> stack = new ArrayDeque<>();
+            private final List<String> path = new ArrayList<>();
+            private List<String> next;
+
+            OptimalIterator() {
+                path.add(start);
+                if (length == 0) {
+                    next = new ArrayList<>(path);
+                } else {
+                    stack.push(successors(start).iterator());
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (next != null) return true;
+                while (!stack.isEmpty()) {
+                    Iterator<String> top = stack.peek();
+                    if (!top.hasNext()) {
+                        stack.pop();
+                        path.remove(path.size() - 1);
+                        continue;
+                    }
+                    String word = top.next();
+                    if (word.equals(target)) {
+                        next = new ArrayList<>(path);
+                        next.add(word);
+                        return true;
+                    }
+                    path.add(word);
+                    stack.push(successors(word).iterator());
+                }
+                return false;
+            }
+
+            @Override
+            public List<String> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                List<String> result = next;
+                next = null;
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Analyses a puzzle, reusing the cached result when available.
+     * @requires start != null && target != null
+     * @ensures \result.start.equals(start) && \result.target.equals(target)
+     */
+    public synchronized Ladders analyze(String start, String target) {
+        String key = start + "->" + target;
+        Ladders ladders = cache.get(key);
+        if (ladders == null) {
+            ladders = new Ladders(start, target, distancesTo(target));
+            cache.put(key, ladders);
+        }
+        return ladders;
+    }
+
+    /**
+     * Lazily enumerates up to k loop-free ladders in order of non-decreasing length,
+     * so near-optimal routes follow the optimal ones.
+     * @requires start != null && target != null && k >= 0
+     * @ensures every produced ladder starts at start, ends at target and repeats no word
+     */
+    public Iterator<List<String>> shortestLadders(String start, String target, int k) {
+        Map<String, Integer> distanceToTarget = analyze(start, target).distanceToTarget;
+        return new Iterator<List<String>>() {
+            private final PriorityQueue<List<String>> frontier = new PriorityQueue<>(
+                    (a, b) -> Integer.compare(estimate(a), estimate(b)));
+            private int produced = 0;
+            private List<String> next;
+
+            {
+                if (distanceToTarget.containsKey(start)) {
+                    frontier.add(Collections.singletonList(start));
+                }
+            }
+
+            private int estimate(List<String> path) {
+                return path.size() - 1 + distanceToTarget.get(path.get(path.size() - 1));
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (next != null) return true;
+                while (produced < k && !frontier.isEmpty()) {
+                    List<String> path = frontier.poll();
+                    String last = path.get(path.size() - 1);
+                    if (last.equals(target)) {
+                        next = path;
+                        produced++;
+                        return true;
+                    }
+                    Set<String> visited = new HashSet<>(path);
+                    for (String n : index.neighbors(last)) {
+                        if (visited.contains(n) || !distanceToTarget.containsKey(n)) continue;
+                        List<String> extended = new ArrayList<>(path);
+                        extended.add(n);
+                        frontier.add(extended);
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public List<String> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                List<String> result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+
+    private Map<String, Integer> distancesTo(String target) {
+        Map<String, Integer> distance = new HashMap<>();
+        Deque<String> queue = new ArrayDeque<>();
+        distance.put(target, 0);
+        queue.add(target);
+        while (!queue.isEmpty()) {
+            String word = queue.poll();
+            int d = distance.get(word);
+            for (String n : index.neighbors(word)) {
+                if (!distance.containsKey(n)) {
+                    distance.put(n, d + 1);
+                    queue.add(n);
+                }
+            }
+        }
+        return distance;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long product = a * b;
+        return (high != 0 || product < 0) ? Long.MAX_VALUE : product;
+    }
+}
@@ -0,0 +1,112 @@
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LadderCounterTest {
+    private static LadderCounter counter;
+
+    @BeforeAll
+    static void setUp() {
+        counter = new LadderCounter(new NeighborIndex(DictionaryLoader.load("dictionary.txt")));
+    }
+
+    /**
+     * Scenario 1: A puzzle with several optimal ladders.
+     * @requires "cold" -> "warm" has more than one shortest ladder
+     * @ensures count and every word's frequency match a brute-force tally of the enumeration
+     */
+    @Test
+    void analyze_WithSeveralOptimalLadders_CountAndFrequencyMatchEnumeration() {
+        LadderCounter.Ladders ladders = counter.analyze("cold", "warm");
+        assertTrue(ladders.count > 1, "Puzzle must have several optimal ladders");
+        assertFalse(ladders.overflowed);
+
+        Set<List<String>> seen = new HashSet<>();
+        Map<String, Long> tally = new HashMap<>();
+        for (List<String> ladder : ladders) {
+            assertEquals(ladders.length + 1, ladder.size(), "Every ladder must be optimal");
+            assertEquals("cold", ladder.get(0));
+            assertEquals("warm", ladder.get(ladder.size() - 1));
+            assertTrue(seen.add(ladder), "Ladders must not repeat");
+            for (String word : ladder) tally.merge(word, 1L, Long::sum);
+        }
+
+        assertEquals(ladders.count, seen.size(), "DP count must match the enumeration");
+        boolean sharedIntermediate = false;
+        for (Map.Entry<String, Long> e : tally.entrySet()) {
+            assertEquals(e.getValue().longValue(), ladders.frequency(e.getKey()),
+                    "Frequency of " + e.getKey() + " must match the enumeration");
+            sharedIntermediate |= e.getValue() > 1 && e.getValue() < ladders.count;
+        }
+        assertTrue(sharedIntermediate, "Some intermediate word should lie on only part of the ladders");
+        assertEquals(0, ladders.frequency("east"), "Words off every shortest ladder have frequency 0");
+    }
+
+    /**
+     * Scenario 2: The k-shortest mode lists loop-free ladders by length.
+     * @requires "cold" -> "warm" with k larger than the number of optimal ladders
+     * @ensures lengths never decrease, the optimal ladders come first, and no ladder repeats a word
+     */
+    @Test
+    void shortestLadders_ReturnsLaddersInNonDecreasingLength() {
+        LadderCounter.Ladders optimal = counter.analyze("cold", "warm");
+        int k = (int) optimal.count + 10;
+        Iterator<List<String>> it = counter.shortestLadders("cold", "warm", k);
+
+        List<List<String>> ladders = new ArrayList<>();
+        while (it.hasNext()) ladders.add(it.next());
+
+        assertEquals(k, ladders.size(), "Exactly k ladders should be produced");
+        for (int i = 0; i < ladders.size(); i++) {
+            List<String> ladder = ladders.get(i);
+            assertEquals("cold", ladder.get(0));
+            assertEquals("warm", ladder.get(ladder.size() - 1));
+            assertEquals(ladder.size(), new HashSet<>(ladder).size(), "Ladders must be loop-free");
+            if (i > 0) assertTrue(ladders.get(i - 1).size() <= ladder.size(), "Lengths must not decrease");
+            if (i < optimal.count) assertEquals(optimal.length + 1, ladder.size(), "Optimal ladders come first");
+        }
+        assertTrue(ladders.get(k - 1).size() > optimal.length + 1, "Later ladders are near-optimal, not optimal");
+    }
+
+    /**
+     * Scenario 3: Path counts beyond Long.MAX_VALUE saturate.
+     * @requires a chain of 64 diamonds, each offering two routes, so there are 2^64 shortest ladders
+     * @ensures count is saturated at Long.MAX_VALUE and overflowed is set
+     */
+    @Test
+    void analyze_WhenCountExceedsLong_SetsOverflowFlag() {
+        int segments = 64;
+        int length = 2 * segments;
+        Set<String> words = new HashSet<>();
+        for (int k = 0; k <= length; k++) {
+            words.add(word(length, k, -1));
+        }
+        for (int k = 0; k < segments; k++) {
+            // Alternative route through the diamond: set position 2k+1 before 2k.
+            words.add(word(length, 2 * k, 2 * k + 1));
+        }
+        LadderCounter synthetic = new LadderCounter(new NeighborIndex(words));
+
+        LadderCounter.Ladders ladders = synthetic.analyze(word(length, 0, -1), word(length, length, -1));
+
+        assertEquals(length, ladders.length, "Every diamond costs two moves");
+        assertTrue(ladders.overflowed, "2^64 ladders must overflow a long");
+        assertEquals(Long.MAX_VALUE, ladders.count, "Overflowed count must saturate");
+    }
+
+    /** Word of 'b's for the first prefix positions and 'a's elsewhere, plus an optional extra 'b'. */
+    private static String word(int length, int prefix, int extra) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) chars[i] = (i < prefix || i == extra) ? 'b' : 'a';
+        return new String(chars);
+    }
+}
@@ -0,0 +1,283 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-puzzle leaderboard of finished games. Inserts from many sessions go
+ * through lock-free skip lists and atomic counters; rank queries read a
+ * move-count histogram, so they cost O(MAX_MOVES) regardless of how many
+ * results were recorded.
+ * @invariant boards != null && topK > 0
+ */
+public class Leaderboard {
+    /** Results with this many moves or more share the last histogram bucket. */
+    public static final int MAX_MOVES = 64;
+    private static final int MAGIC = 0x57564C42; // "WVLB"
+    private static final int VERSION = 1;
+
+    private final int topK;
+    private final Map<String, PuzzleBoard> boards = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private ScheduledExecutorService flusher;
+    private volatile Path protectedFile;
+
+    /**
+     * A single finished game.
+     * @invariant player != null && moves > 0 && millis >= 0
+     */
+    public static class Result {
+        public final String player;
+        public final int moves;
+        public final long millis;
+        public final long finishedAt;
+        private final long seq;
+
+        public Result(String player, int moves, long millis, long finishedAt) {
+            this(player, moves, millis, finishedAt, 0);
+        }
+
+        private Result(String player, int moves, long millis, long finishedAt, long seq) {
+            this.player = player;
+            this.moves = moves;
+            this.millis = millis;
+            this.finishedAt = finishedAt;
+            this.seq = seq;
+        }
+    }
+
+    private static final Comparator<Result> ORDER = Comparator
+            .comparingInt((Result r) -> r.moves)
+            .thenComparingLong(r -> r.millis)
+            .thenComparingLong(r -> r.seq);
+
+    private static class PuzzleBoard {
+        final ConcurrentSkipListSet<Result> top = new ConcurrentSkipListSet<>(ORDER);
+        final AtomicInteger topSize = new AtomicInteger();
+        final AtomicLongArray histogram = new AtomicLongArray(MAX_MOVES + 1);
+    }
+
+    /**
+     * Creates an empty leaderboard keeping the best topK results per puzzle.
+     * @requires topK > 0
+     * @ensures every puzzle starts with no results
+     */
+    public Leaderboard(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Records a finished game.
+     * @requires puzzle != null && result != null
+     * @ensures totalResults(puzzle) == \old(totalResults(puzzle)) + 1
+     */
+    public void record(String puzzle, Result result) {
+        PuzzleBoard board = boards.computeIfAbsent(puzzle, k -> new PuzzleBoard());
+        board.histogram.incrementAndGet(bucket(result.moves));
+        Result entry = new Result(result.player, result.moves, result.millis,
+                result.finishedAt, sequence.incrementAndGet());
+        dirty.set(true);
+
+        if (board.topSize.get() >= topK) {
+            Result worst = board.top.isEmpty() ? null : board.top.last();
+            if (worst != null && ORDER.compare(entry, worst) > 0) return;
+        }
+        board.top.add(entry);
+        if (board.topSize.incrementAndGet() > topK && board.top.pollLast() != null) {
+            board.topSize.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the best results for a puzzle, best first.
+     * @requires puzzle != null
+     * @ensures \result.size() <= topK
+     */
+    public List<Result> top(String puzzle) {
+        PuzzleBoard board = boards.get(puzzle);
+        List<Result> result = new ArrayList<>(topK);
+        if (board == null) return result;
+        for (Result r : board.top) {
+            if (result.size() == topK) break;
+            result.add(r);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the 1-based rank a game with the given move count would have.
+     * @requires puzzle != null && moves > 0
+     * @ensures \result == 1 + number of recorded results with fewer moves
+     */
+    public long rank(String puzzle, int moves) {
+        PuzzleBoard board = boards.get(puzzle);
+        if (board == null) return 1;
+        long better = 0;
+        for (int i = 0; i < bucket(moves); i++) {
+            better += board.histogram.get(i);
+        }
+        return better + 1;
+    }
+
+    /**
+     * Returns how many games were recorded for a puzzle.
+     * @requires puzzle != null
+     * @ensures \result >= 0
+     */
+    public long totalResults(String puzzle) {
+        PuzzleBoard board = boards.get(puzzle);
+        if (board == null) return 0;
+        long total = 0;
+        for (int i = 0; i <= MAX_MOVES; i++) {
+            total += board.histogram.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Writes the leaderboard to disk if it changed since the last flush.
+     * The file is written next to the target and atomically moved into place.
+     * @requires file != null
+     * @ensures file holds every puzzle's histogram and top results
+     */
+    public synchronized void flush(Path file) throws IOException {
+        if (file.equals(protectedFile)) {
+            throw new IOException("refusing to overwrite unreadable leaderboard " + file);
+        }
+        if (!dirty.getAndSet(false)) return;
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            // Snapshot first: puzzles added mid-flush must not desync the header count.
+            List<Map.Entry<String, PuzzleBoard>> entries = new ArrayList<>(boards.entrySet());
+            out.writeInt(entries.size());
+            for (Map.Entry<String, PuzzleBoard> e : entries) {
+                PuzzleBoard board = e.getValue();
+                out.writeUTF(e.getKey());
+                for (int i = 0; i <= MAX_MOVES; i++) {
+                    out.writeLong(board.histogram.get(i));
+                }
+                List<Result> top = top(e.getKey());
+                out.writeInt(top.size());
+                for (Result r : top) {
+                    out.writeUTF(r.player);
+                    out.writeInt(r.moves);
+                    out.writeLong(r.millis);
+                    out.writeLong(r.finishedAt);
+                }
+            }
+        } catch (IOException e) {
+            dirty.set(true);
+            throw e;
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Flushes to disk every period on a daemon thread, replacing any earlier schedule.
+     * @requires file != null && period > 0
+     * @ensures changes reach disk within one period
+     */
+    public synchronized void startAutoFlush(Path file, long period, TimeUnit unit) {
+        stopAutoFlush();
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "leaderboard-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleAtFixedRate(() -> {
+            try {
+                flush(file);
+            } catch (IOException e) {
+                System.err.println("Error saving leaderboard: " + e.getMessage());
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Stops the periodic flush, if one is running.
+     * @ensures no further automatic flushes are scheduled
+     */
+    public synchronized void stopAutoFlush() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher = null;
+        }
+    }
+
+    /**
+     * Loads a leaderboard written by flush, or an empty one if the file is missing or unreadable.
+     * An unreadable file is kept as file + ".bad"; if it cannot be renamed,
+     * flushing to it is refused so the saved results are never overwritten.
+     * @requires file != null && topK > 0
+     * @ensures \result != null
+     */
+    public static Leaderboard load(Path file, int topK) {
+        Leaderboard leaderboard = new Leaderboard(topK);
+        if (!Files.exists(file)) return leaderboard;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("unrecognized leaderboard format");
+            }
+            int puzzles = in.readInt();
+            for (int p = 0; p < puzzles; p++) {
+                PuzzleBoard board = new PuzzleBoard();
+                leaderboard.boards.put(in.readUTF(), board);
+                for (int i = 0; i <= MAX_MOVES; i++) {
+                    board.histogram.set(i, in.readLong());
+                }
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    Result r = new Result(in.readUTF(), in.readInt(), in.readLong(), in.readLong(),
+                            leaderboard.sequence.incrementAndGet());
+                    if (i < topK) {
+                        board.top.add(r);
+                        board.topSize.incrementAndGet();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading leaderboard: " + e.getMessage());
+            leaderboard = new Leaderboard(topK);
+            Path bad = file.resolveSibling(file.getFileName() + ".bad");
+            try {
+                Files.move(file, bad, StandardCopyOption.REPLACE_EXISTING);
+                System.err.println("Unreadable leaderboard kept as " + bad);
+            } catch (IOException moveError) {
+                System.err.println("Error keeping unreadable leaderboard: " + moveError.getMessage());
+                leaderboard.protectedFile = file;
+            }
+        }
+        return leaderboard;
+    }
+
+    private static int bucket(int moves) {
+        return Math.max(0, Math.min(moves, MAX_MOVES));
+    }
+}
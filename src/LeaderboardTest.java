@@ -0,0 +1,136 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderboardTest {
+    private static final String PUZZLE = "east->west";
+    private Leaderboard leaderboard;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new Leaderboard(3);
+    }
+
+    /**
+     * Scenario 1: Only the best topK results are kept, best first.
+     * @requires topK = 3, five results with mixed moves and times
+     * @ensures top() holds the three fewest-move results, ties broken by time
+     */
+    @Test
+    void record_WhenMoreThanTopK_KeepsBestOrderedByMovesThenMillis() {
+        leaderboard.record(PUZZLE, new Leaderboard.Result("slow", 5, 900, 0));
+        leaderboard.record(PUZZLE, new Leaderboard.Result("fast", 3, 500, 0));
+        leaderboard.record(PUZZLE, new Leaderboard.Result("faster", 3, 200, 0));
+        leaderboard.record(PUZZLE, new Leaderboard.Result("long", 9, 100, 0));
+        leaderboard.record(PUZZLE, new Leaderboard.Result("mid", 4, 50, 0));
+
+        List<Leaderboard.Result> top = leaderboard.top(PUZZLE);
+        assertEquals(3, top.size(), "Only topK results should be kept");
+        assertEquals("faster", top.get(0).player, "Fewest moves, then least time, comes first");
+        assertEquals("fast", top.get(1).player);
+        assertEquals("mid", top.get(2).player);
+    }
+
+    /**
+     * Scenario 2: Rank and totals come from the move histogram.
+     * @requires results with 2, 3, 3 and MAX_MOVES + 10 moves
+     * @ensures rank counts fewer-move results and oversized move counts share the last bucket
+     */
+    @Test
+    void rank_CountsResultsWithFewerMoves_ClampingAtMaxMoves() {
+        leaderboard.record(PUZZLE, new Leaderboard.Result("a", 2, 0, 0));
+        leaderboard.record(PUZZLE, new Leaderboard.Result("b", 3, 0, 0));
+        leaderboard.record(PUZZLE, new Leaderboard.Result("c", 3, 0, 0));
+        leaderboard.record(PUZZLE, new Leaderboard.Result("d", Leaderboard.MAX_MOVES + 10, 0, 0));
+
+        assertEquals(4, leaderboard.totalResults(PUZZLE), "Every result is counted");
+        assertEquals(1, leaderboard.rank(PUZZLE, 2), "Nobody beat two moves");
+        assertEquals(2, leaderboard.rank(PUZZLE, 3), "One result has fewer than three moves");
+        assertEquals(4, leaderboard.rank(PUZZLE, Leaderboard.MAX_MOVES),
+                "Results past MAX_MOVES share its bucket");
+        assertEquals(4, leaderboard.rank(PUZZLE, Leaderboard.MAX_MOVES + 100),
+                "Move counts past MAX_MOVES are clamped");
+        assertEquals(0, leaderboard.totalResults("other->puzzle"), "Unknown puzzles are empty");
+        assertEquals(1, leaderboard.rank("other->puzzle", 5), "Unknown puzzles rank first");
+    }
+
+    /**
+     * Scenario 3: A flushed leaderboard loads back unchanged.
+     * @requires a leaderboard with results flushed to a temp file
+     * @ensures load() restores totals, ranks and top results
+     */
+    @Test
+    void flushThenLoad_RoundTripsResults() throws IOException {
+        leaderboard.record(PUZZLE, new Leaderboard.Result("ann", 3, 1200, 42));
+        leaderboard.record(PUZZLE, new Leaderboard.Result("bob", 4, 800, 43));
+        Path file = tempDir.resolve("leaderboard.dat");
+
+        leaderboard.flush(file);
+        Leaderboard loaded = Leaderboard.load(file, 3);
+
+        assertEquals(2, loaded.totalResults(PUZZLE));
+        assertEquals(2, loaded.rank(PUZZLE, 4));
+        List<Leaderboard.Result> top = loaded.top(PUZZLE);
+        assertEquals(2, top.size());
+        assertEquals("ann", top.get(0).player);
+        assertEquals(3, top.get(0).moves);
+        assertEquals(1200, top.get(0).millis);
+        assertEquals(42, top.get(0).finishedAt);
+    }
+
+    /**
+     * Scenario 4: A corrupt file is set aside instead of being overwritten.
+     * @requires leaderboard.dat holds garbage
+     * @ensures load() returns an empty board and keeps the file as leaderboard.dat.bad
+     */
+    @Test
+    void load_WhenFileIsCorrupt_KeepsItAsBadFile() throws IOException {
+        Path file = tempDir.resolve("leaderboard.dat");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        Leaderboard loaded = Leaderboard.load(file, 3);
+
+        assertEquals(0, loaded.totalResults(PUZZLE), "Corrupt file loads as empty");
+        assertFalse(Files.exists(file), "Corrupt file should be moved aside");
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(tempDir.resolve("leaderboard.dat.bad")),
+                "Corrupt contents must be preserved");
+    }
+
+    /**
+     * Scenario 5: Concurrent inserts keep the board bounded and the histogram exact.
+     * @requires 4 threads each recording 5000 results
+     * @ensures top().size() <= topK and totalResults == 20000
+     */
+    @Test
+    void record_FromManyThreads_KeepsTopKBoundedAndCountsAll() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 5000; i++) {
+                    leaderboard.record(PUZZLE, new Leaderboard.Result(
+                            "p" + seed, 1 + random.nextInt(20), random.nextInt(10000), 0));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(20000, leaderboard.totalResults(PUZZLE), "Histogram must count every result");
+        List<Leaderboard.Result> top = leaderboard.top(PUZZLE);
+        assertTrue(top.size() <= 3, "Top list must stay within topK");
+        assertEquals(1, top.get(0).moves, "Best result must be a one-move game");
+    }
+}
@@ -1,15 +1,46 @@
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Entry point to launch the Weaver game.
+ * The window is shown straight away; the dictionary, indices and leaderboard
+ * are loaded on a background executor and installed as they become ready.
  */
 // Main.java
 public class Main {
+    private static final Path LEADERBOARD_FILE = Paths.get("leaderboard.dat");
+
     public static void main(String[] args) {
+        ExecutorService startup = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "weaver-startup");
+            t.setDaemon(true);
+            return t;
+        });
+
         SwingUtilities.invokeLater(() -> {
-            GameModel model = new GameModel();
+            GameModel model = new GameModel(startup);
             GUIView view = new GUIView(model);
             new GameController(model, view);
+
+            CompletableFuture.supplyAsync(() -> Leaderboard.load(LEADERBOARD_FILE, 10), startup)
+                    .thenAccept(leaderboard -> {
+                        leaderboard.startAutoFlush(LEADERBOARD_FILE, 30, TimeUnit.SECONDS);
+                        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                            try {
+                                leaderboard.flush(LEADERBOARD_FILE);
+                            } catch (IOException e) {
+                                System.err.println("Error saving leaderboard: " + e.getMessage());
+                            }
+                        }));
+                        model.setLeaderboard(leaderboard);
+                    });
+            model.whenIndicesReady().whenComplete((v, e) -> startup.shutdown());
         });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Wildcard index over the dictionary: maps each word with one position blanked
+ * out (e.g. "e_st") to a 26-bit mask of the letters that complete it.
+ * @invariant patterns != null
+ */
+public class NeighborIndex {
+    private static final char WILDCARD = '_';
+    private final Map<String, Integer> patterns = new HashMap<>();
+
+    /**
+     * Builds the index from the given words.
+     * @requires words != null && every word is lowercase a-z
+     * @ensures every word is reachable through each of its wildcard patterns
+     */
+    public NeighborIndex(Set<String> words) {
+        for (String word : words) {
+            char[] chars = word.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                char original = chars[i];
+                chars[i] = WILDCARD;
+                patterns.merge(new String(chars), bit(original), (a, b) -> a | b);
+                chars[i] = original;
+            }
+        }
+    }
+
+    /**
+     * Computes, for every position of the word, the letters that turn it into
+     * a different dictionary word.
+     * @requires word != null
+     * @ensures \result.length == word.length()
+     * @ensures (\result[i] & bit(word.charAt(i))) == 0
+     */
+    public int[] letterMasks(String word) {
+        char[] chars = word.toCharArray();
+        int[] masks = new int[chars.length];
+        for (int i = 0; i < chars.length; i++) {
+            char original = chars[i];
+            chars[i] = WILDCARD;
+            masks[i] = patterns.getOrDefault(new String(chars), 0) & ~bit(original);
+            chars[i] = original;
+        }
+        return masks;
+    }
+
+    /**
+     * Lists the dictionary words exactly one letter away from the given word.
+     * @requires word != null
+     * @ensures every element differs from word in exactly one position
+     */
+    public List<String> neighbors(String word) {
+        int[] masks = letterMasks(word);
+        List<String> result = new ArrayList<>();
+        char[] chars = word.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char original = chars[i];
+            for (int mask = masks[i]; mask != 0; mask &= mask - 1) {
+                chars[i] = (char) ('a' + Integer.numberOfTrailingZeros(mask));
+                result.add(new String(chars));
+            }
+            chars[i] = original;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask bit for a letter, or 0 for anything outside a-z.
+     * @ensures \result == 0 || Integer.bitCount(\result) == 1
+     */
+    public static int bit(char letter) {
+        char c = Character.toLowerCase(letter);
+        return (c >= 'a' && c <= 'z') ? 1 << (c - 'a') : 0;
+    }
+}